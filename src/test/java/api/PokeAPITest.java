@@ -5,6 +5,8 @@ import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import scheduler.ResourceClass;
+import scheduler.UsesResource;
 
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.*;
@@ -12,7 +14,9 @@ import static org.hamcrest.Matchers.*;
 /**
  * Tests API REST sur PokeAPI avec REST Assured
  * Complète les tests Postman/Newman
+ * Chaque scénario renvoie son message au lieu de l'afficher : le soak test les rejoue en boucle
  */
+@UsesResource(ResourceClass.NETWORK)
 public class PokeAPITest {
     
     @BeforeClass
@@ -22,6 +26,10 @@ public class PokeAPITest {
     
     @Test(priority = 1, description = "GET Pokemon Pikachu")
     public void testGetPikachu() {
+        System.out.println(getPikachu());
+    }
+    
+    public String getPikachu() {
         given()
             .when()
                 .get("/pokemon/pikachu")
@@ -31,11 +39,15 @@ public class PokeAPITest {
                 .body("id", equalTo(25))
                 .body("types", not(empty()));
         
-        System.out.println("✓ GET /pokemon/pikachu - OK");
+        return "✓ GET /pokemon/pikachu - OK";
     }
     
     @Test(priority = 2, description = "GET Pokemon par ID")
     public void testGetPokemonById() {
+        System.out.println(getPokemonById());
+    }
+    
+    public String getPokemonById() {
         given()
             .when()
                 .get("/pokemon/1")
@@ -44,11 +56,15 @@ public class PokeAPITest {
                 .body("name", equalTo("bulbasaur"))
                 .body("id", equalTo(1));
         
-        System.out.println("✓ GET /pokemon/1 (Bulbasaur) - OK");
+        return "✓ GET /pokemon/1 (Bulbasaur) - OK";
     }
     
     @Test(priority = 3, description = "GET Liste des Pokemon")
     public void testGetPokemonList() {
+        System.out.println(getPokemonList());
+    }
+    
+    public String getPokemonList() {
         given()
             .queryParam("limit", 10)
             .queryParam("offset", 0)
@@ -60,11 +76,15 @@ public class PokeAPITest {
                 .body("results", hasSize(10))
                 .body("results[0].name", notNullValue());
         
-        System.out.println("✓ GET /pokemon?limit=10 - OK");
+        return "✓ GET /pokemon?limit=10 - OK";
     }
     
     @Test(priority = 4, description = "GET Type Pokemon")
     public void testGetPokemonType() {
+        System.out.println(getPokemonType());
+    }
+    
+    public String getPokemonType() {
         given()
             .when()
                 .get("/type/electric")
@@ -73,11 +93,15 @@ public class PokeAPITest {
                 .body("name", equalTo("electric"))
                 .body("pokemon", not(empty()));
         
-        System.out.println("✓ GET /type/electric - OK");
+        return "✓ GET /type/electric - OK";
     }
     
     @Test(priority = 5, description = "GET Pokemon Ability")
     public void testGetAbility() {
+        System.out.println(getAbility());
+    }
+    
+    public String getAbility() {
         given()
             .when()
                 .get("/ability/static")
@@ -86,11 +110,15 @@ public class PokeAPITest {
                 .body("name", equalTo("static"))
                 .body("pokemon", not(empty()));
         
-        System.out.println("✓ GET /ability/static - OK");
+        return "✓ GET /ability/static - OK";
     }
     
     @Test(priority = 6, description = "GET Generation")
     public void testGetGeneration() {
+        System.out.println(getGeneration());
+    }
+    
+    public String getGeneration() {
         given()
             .when()
                 .get("/generation/1")
@@ -99,22 +127,30 @@ public class PokeAPITest {
                 .body("name", equalTo("generation-i"))
                 .body("pokemon_species", not(empty()));
         
-        System.out.println("✓ GET /generation/1 - OK");
+        return "✓ GET /generation/1 - OK";
     }
     
     @Test(priority = 7, description = "GET Pokemon inexistant - 404")
     public void testGetNonExistentPokemon() {
+        System.out.println(getNonExistentPokemon());
+    }
+    
+    public String getNonExistentPokemon() {
         given()
             .when()
                 .get("/pokemon/fakemonster999999")
             .then()
                 .statusCode(404);
         
-        System.out.println("✓ GET /pokemon/fakemonster999999 - 404 OK");
+        return "✓ GET /pokemon/fakemonster999999 - 404 OK";
     }
     
     @Test(priority = 8, description = "Vérifier les stats de Pikachu")
     public void testPikachuStats() {
+        System.out.println(pikachuStats());
+    }
+    
+    public String pikachuStats() {
         Response response = given()
             .when()
                 .get("/pokemon/pikachu")
@@ -132,6 +168,6 @@ public class PokeAPITest {
         Assert.assertTrue(weight > 0, "Le poids devrait être positif");
         Assert.assertTrue(height > 0, "La taille devrait être positive");
         
-        System.out.println("✓ Stats Pikachu - XP: " + baseExperience + ", Poids: " + weight + ", Taille: " + height);
+        return "✓ Stats Pikachu - XP: " + baseExperience + ", Poids: " + weight + ", Taille: " + height;
     }
 }
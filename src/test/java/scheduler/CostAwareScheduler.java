@@ -0,0 +1,287 @@
+package scheduler;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planificateur de tests basé sur le coût estimé
+ * - trie les tests du plus long au plus court (les sessions navigateur démarrent en premier)
+ * - limite la concurrence par classe de ressource (BROWSER, NETWORK, CPU)
+ * - répartit la suite entre plusieurs jobs CI en équilibrant la durée estimée
+ * - mesure chaque test et met à jour l'historique en fin de suite
+ *
+ * Le pool de threads reste celui de TestNG : avec parallel="methods" et une seule
+ * balise test, un thread libre prend le prochain test disponible au lieu d'attendre
+ * la fin d'une autre balise test.
+ *
+ * Limite connue : un thread qui attend un permis reste bloqué et ne prend pas
+ * d'autre test. Pour que chaque ressource puisse tourner à sa limite, le
+ * thread-count de la suite est remplacé par la somme des limites des ressources
+ * présentes (1 BROWSER + 4 NETWORK = 5 threads par défaut).
+ *
+ * Les listeners d'un fichier de suite s'appliquent à toutes les suites lancées
+ * ensemble : seules les suites parallèles (testng.xml) sont planifiées, mesurées
+ * et découpées ; unit.xml tourne en entier dans chaque job.
+ */
+public class CostAwareScheduler
+        implements IAlterSuiteListener, IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final String PERMIT_ATTRIBUTE = "scheduler.permit";
+    private static final String START_ATTRIBUTE = "scheduler.start";
+
+    /** Suffixe des mesures @BeforeClass/@AfterClass d'une classe gardée d'un seul bloc */
+    static final String CLASS_CONFIGURATION = ".@class";
+
+    private static final DurationHistory HISTORY = DurationHistory.fromSystemProperties();
+    private static final Map<ResourceClass, Semaphore> PERMITS = new EnumMap<>(ResourceClass.class);
+    private static final Set<String> WHOLE_CLASSES = ConcurrentHashMap.newKeySet();
+    private static final int SHARDS = shardSetting("scheduler.shards", "CI_NODE_TOTAL", 1);
+    private static final int SHARD = shardSetting("scheduler.shard", "CI_NODE_INDEX", 1);
+
+    private static ShardPlan plan;
+
+    static {
+        HISTORY.load();
+        for (ResourceClass resource : ResourceClass.values()) {
+            PERMITS.put(resource, new Semaphore(resource.limit(), true));
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        for (XmlSuite suite : suites) {
+            if (!isScheduled(suite)) {
+                continue;
+            }
+            Set<ResourceClass> used = EnumSet.noneOf(ResourceClass.class);
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    used.addAll(resourcesOf(xmlClass.getSupportClass()));
+                }
+            }
+            int threads = used.stream().mapToInt(ResourceClass::limit).sum();
+            if (threads > 0) {
+                suite.setThreadCount(threads);
+                System.out.println("✓ Planificateur - thread-count " + threads + " pour " + used);
+            }
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isScheduled(context.getSuite().getXmlSuite())) {
+            return methods;
+        }
+        // Regroupe les méthodes qui doivent rester ensemble (même thread ou dépendances)
+        Set<Class<?>> wholeClasses = new HashSet<>();
+        for (IMethodInstance instance : methods) {
+            if (mustStayTogether(instance.getMethod())) {
+                wholeClasses.add(instance.getMethod().getRealClass());
+            }
+        }
+        Map<String, List<IMethodInstance>> units = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String key = wholeClasses.contains(method.getRealClass()) ? method.getRealClass().getName() : idOf(method);
+            units.computeIfAbsent(key, k -> new ArrayList<>()).add(instance);
+        }
+        wholeClasses.forEach(testClass -> WHOLE_CLASSES.add(testClass.getName()));
+
+        // Une classe d'un seul bloc paie aussi son @BeforeClass (démarrage du driver...)
+        Map<String, Long> costs = new LinkedHashMap<>();
+        units.forEach((key, unit) -> {
+            long cost = unit.stream().mapToLong(instance -> estimate(instance.getMethod())).sum();
+            if (WHOLE_CLASSES.contains(key)) {
+                cost += HISTORY.estimate(key + CLASS_CONFIGURATION, resourceOf(unit.get(0).getMethod()));
+            }
+            costs.put(key, cost);
+        });
+
+        List<String> ordered = new ArrayList<>(units.keySet());
+        ordered.sort(Comparator.comparing((String key) -> costs.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<String> selected = ordered;
+        if (SHARDS > 1) {
+            if (SHARD < 1 || SHARD > SHARDS) {
+                throw new IllegalArgumentException("Shard " + SHARD + " hors de l'intervalle 1.." + SHARDS);
+            }
+            ShardPlan testPlan = ShardPlan.balance(HISTORY.fingerprint(), costs, SHARDS);
+            synchronized (CostAwareScheduler.class) {
+                plan = plan == null ? testPlan : plan.plus(testPlan);
+            }
+            selected = new ArrayList<>();
+            for (String key : ordered) {
+                if (testPlan.contains(key, SHARD)) {
+                    selected.add(key);
+                }
+            }
+        }
+
+        List<IMethodInstance> result = new ArrayList<>();
+        for (String key : selected) {
+            result.addAll(units.get(key));
+        }
+        System.out.println("✓ Planificateur - " + result.size() + "/" + methods.size()
+                + " tests, durée estimée: " + selected.stream().mapToLong(costs::get).sum() + " ms");
+        return result;
+    }
+
+    private static int shardSetting(String property, String env, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(env);
+        }
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!isScheduled(testResult.getTestContext().getSuite().getXmlSuite())) {
+            return;
+        }
+        if (method.isTestMethod()) {
+            ResourceClass resource = resourceOf(method.getTestMethod());
+            PERMITS.get(resource).acquireUninterruptibly();
+            testResult.setAttribute(PERMIT_ATTRIBUTE, resource);
+        } else if (!isWholeClassConfiguration(method.getTestMethod())) {
+            return;
+        }
+        // Départ pris après le permis : l'attente ne compte pas dans la durée du test
+        testResult.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Object start = testResult.removeAttribute(START_ATTRIBUTE);
+        Object permit = testResult.removeAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof ResourceClass) {
+            PERMITS.get((ResourceClass) permit).release();
+        }
+        if (!(start instanceof Long)) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) start);
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            // Un test ignoré (échec de @BeforeClass...) ne dit rien de sa durée réelle
+            if (testResult.getStatus() != ITestResult.SKIP) {
+                HISTORY.record(idOf(testMethod), (ResourceClass) permit, millis);
+            }
+        } else if (testResult.getStatus() == ITestResult.SUCCESS) {
+            HISTORY.record(testMethod.getRealClass().getName() + CLASS_CONFIGURATION, resourceOf(testMethod), millis);
+        }
+    }
+
+    /**
+     * Hors CI, l'historique est mis à jour directement. Un shard ne fait que déposer
+     * ses mesures et son plan ; HistoryMerge les fusionne dans un job ultérieur.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!isScheduled(suite.getXmlSuite())) {
+            return;
+        }
+        try {
+            if (SHARDS > 1) {
+                ShardPlan finalPlan;
+                synchronized (CostAwareScheduler.class) {
+                    finalPlan = plan != null ? plan : ShardPlan.balance(HISTORY.fingerprint(), Map.of(), SHARDS);
+                }
+                HISTORY.saveMeasurements(HistoryMerge.measurementsFile(HISTORY.file(), SHARD, SHARDS));
+                finalPlan.write(HistoryMerge.planFile(HISTORY.file(), SHARD, SHARDS));
+            } else {
+                HISTORY.save();
+            }
+        } catch (IOException e) {
+            System.out.println("⚠ Impossible d'écrire l'historique " + HISTORY.file() + ": " + e.getMessage());
+        }
+    }
+
+    /** Suite parallèle : planifiée ; sinon (unit.xml, soak.xml) laissée telle quelle */
+    private static boolean isScheduled(XmlSuite suite) {
+        return suite.getParallel() != null && suite.getParallel().isParallel();
+    }
+
+    private static boolean isWholeClassConfiguration(ITestNGMethod method) {
+        return (method.isBeforeClassConfiguration() || method.isAfterClassConfiguration())
+                && WHOLE_CLASSES.contains(method.getRealClass().getName());
+    }
+
+    private static long estimate(ITestNGMethod method) {
+        return HISTORY.estimate(idOf(method), resourceOf(method));
+    }
+
+    private static String idOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    /** Annotation de la méthode, puis de la classe, sinon CPU */
+    private static ResourceClass resourceOf(ITestNGMethod method) {
+        Method javaMethod = method.getConstructorOrMethod().getMethod();
+        UsesResource annotation = javaMethod != null ? javaMethod.getAnnotation(UsesResource.class) : null;
+        if (annotation == null) {
+            Class<?> testClass = method.getRealClass();
+            annotation = testClass.getAnnotation(UsesResource.class);
+        }
+        return annotation != null ? annotation.value() : ResourceClass.CPU;
+    }
+
+    /** Ressources déclarées par une classe et ses méthodes de test */
+    private static Set<ResourceClass> resourcesOf(Class<?> testClass) {
+        Set<ResourceClass> used = EnumSet.noneOf(ResourceClass.class);
+        UsesResource classAnnotation = testClass.getAnnotation(UsesResource.class);
+        used.add(classAnnotation != null ? classAnnotation.value() : ResourceClass.CPU);
+        for (Method javaMethod : testClass.getMethods()) {
+            UsesResource annotation = javaMethod.getAnnotation(UsesResource.class);
+            if (annotation != null) {
+                used.add(annotation.value());
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Une classe singleThreaded ou avec des dépendances reste d'un seul bloc :
+     * on ne la découpe pas entre deux shards
+     */
+    private static boolean mustStayTogether(ITestNGMethod method) {
+        Class<?> testClass = method.getRealClass();
+        Test classAnnotation = testClass.getAnnotation(Test.class);
+        boolean singleThreaded = classAnnotation != null && classAnnotation.singleThreaded();
+        return singleThreaded
+                || method.getMethodsDependedUpon().length > 0
+                || method.getGroupsDependedUpon().length > 0;
+    }
+}
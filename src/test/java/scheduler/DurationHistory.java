@@ -0,0 +1,162 @@
+package scheduler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Historique des durées de test, persisté entre deux exécutions
+ * Une ligne par méthode : api.PokeAPITest.testGetPikachu=812;NETWORK
+ * La durée est une moyenne glissante pour lisser les runs atypiques
+ *
+ * En CI, les shards ne réécrivent pas l'historique : chacun dépose ses mesures
+ * brutes à côté (shard-1-of-2.properties...) et HistoryMerge les fusionne ensuite.
+ */
+public class DurationHistory {
+
+    /** Poids de la dernière mesure dans la moyenne glissante */
+    static final double SMOOTHING = 0.3;
+
+    private final Path file;
+    private final Map<String, Long> estimates = new ConcurrentHashMap<>();
+    private final Map<String, ResourceClass> resources = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private String fingerprint = "absent";
+
+    public DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Fichier par défaut : .test-history/durations.properties
+     * Surchargeable via -Dscheduler.history=chemin
+     */
+    public static DurationHistory fromSystemProperties() {
+        String path = System.getProperty("scheduler.history", ".test-history/durations.properties");
+        return new DurationHistory(Paths.get(path));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Empreinte SHA-256 du fichier chargé : deux shards avec la même empreinte calculent le même découpage */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            System.out.println("⚠ Historique illisible, ordre par défaut: " + e.getMessage());
+            return;
+        }
+        fingerprint = sha256(content);
+        read(new String(content, StandardCharsets.UTF_8)).forEach((id, value) -> {
+            String[] parts = value.split(";");
+            try {
+                estimates.put(id, Long.parseLong(parts[0].trim()));
+                if (parts.length > 1) {
+                    resources.put(id, ResourceClass.valueOf(parts[1].trim()));
+                }
+            } catch (IllegalArgumentException e) {
+                // Ligne corrompue : le test sera ré-estimé à la prochaine mesure
+            }
+        });
+    }
+
+    /** Durée estimée, ou la valeur par défaut de la ressource si jamais mesuré */
+    public long estimate(String id, ResourceClass resource) {
+        Long known = estimates.get(id);
+        return known != null ? known : resource.defaultEstimateMillis();
+    }
+
+    /** Cumule les invocations d'une même méthode (data providers, invocationCount) */
+    public void record(String id, ResourceClass resource, long millis) {
+        measured.merge(id, Math.max(0, millis), Long::sum);
+        resources.put(id, resource);
+    }
+
+    /**
+     * Fusionne les mesures du run dans l'historique et réécrit le fichier
+     * Les tests non exécutés (autre shard) gardent leur estimation
+     */
+    public synchronized void save() throws IOException {
+        measured.forEach((id, millis) -> {
+            Long previous = estimates.get(id);
+            long smoothed = previous == null
+                    ? millis
+                    : Math.round(SMOOTHING * millis + (1 - SMOOTHING) * previous);
+            estimates.put(id, smoothed);
+        });
+        measured.clear();
+        write(file, "Durées estimées (ms) et ressource par test - généré par CostAwareScheduler", estimates);
+    }
+
+    /** Écrit les mesures brutes du run sans toucher à l'historique (mode shard) */
+    public synchronized void saveMeasurements(Path target) throws IOException {
+        write(target, "Mesures brutes (ms) d'un shard - fusionnées par HistoryMerge", measured);
+    }
+
+    /** Ajoute les mesures brutes d'un shard à celles du run courant */
+    public void loadMeasurements(Path source) throws IOException {
+        read(Files.readString(source, StandardCharsets.UTF_8)).forEach((id, value) -> {
+            String[] parts = value.split(";");
+            record(id, ResourceClass.valueOf(parts[1].trim()), Long.parseLong(parts[0].trim()));
+        });
+    }
+
+    private void write(Path target, String comment, Map<String, Long> values) throws IOException {
+        Map<String, String> sorted = new TreeMap<>();
+        values.forEach((id, millis) ->
+                sorted.put(id, millis + ";" + resources.getOrDefault(id, ResourceClass.CPU)));
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("# " + comment + "\n");
+            for (Map.Entry<String, String> entry : sorted.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    private static Map<String, String> read(String content) {
+        Properties properties = new Properties();
+        try (Reader reader = new StringReader(content)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Map<String, String> values = new TreeMap<>();
+        for (String id : properties.stringPropertyNames()) {
+            values.put(id, properties.getProperty(id));
+        }
+        return values;
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
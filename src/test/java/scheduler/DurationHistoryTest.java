@@ -0,0 +1,105 @@
+package scheduler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Tests unitaires de l'historique des durées et de la fusion des shards
+ */
+public class DurationHistoryTest {
+
+    private static Path historyWith(String content) throws Exception {
+        Path file = Files.createTempDirectory("history").resolve("durations.properties");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static DurationHistory reload(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        history.load();
+        return history;
+    }
+
+    @Test(description = "Moyenne glissante : 30 % de la nouvelle mesure")
+    public void testSmoothing() throws Exception {
+        Path file = historyWith("a.Test.m=1000;NETWORK\nb.Test.m=400;CPU\n");
+        DurationHistory history = reload(file);
+
+        history.record("a.Test.m", ResourceClass.NETWORK, 2000);
+        history.record("c.Test.m", ResourceClass.BROWSER, 500);
+        history.save();
+
+        DurationHistory saved = reload(file);
+        Assert.assertEquals(saved.estimate("a.Test.m", ResourceClass.NETWORK), 1300L);
+        Assert.assertEquals(saved.estimate("b.Test.m", ResourceClass.CPU), 400L);
+        Assert.assertEquals(saved.estimate("c.Test.m", ResourceClass.BROWSER), 500L);
+    }
+
+    @Test(description = "Invocations multiples d'une méthode : durées cumulées")
+    public void testInvocationsAreSummed() throws Exception {
+        Path file = historyWith("");
+        DurationHistory history = reload(file);
+
+        history.record("a.Test.m", ResourceClass.CPU, 100);
+        history.record("a.Test.m", ResourceClass.CPU, 150);
+        history.save();
+
+        Assert.assertEquals(reload(file).estimate("a.Test.m", ResourceClass.CPU), 250L);
+    }
+
+    @Test(description = "Test jamais mesuré : estimation par défaut de la ressource")
+    public void testDefaultEstimate() throws Exception {
+        DurationHistory history = reload(historyWith("corrompu=abc;NETWORK\n"));
+
+        Assert.assertEquals(history.estimate("corrompu", ResourceClass.NETWORK),
+                ResourceClass.NETWORK.defaultEstimateMillis());
+        Assert.assertEquals(history.estimate("inconnu", ResourceClass.BROWSER),
+                ResourceClass.BROWSER.defaultEstimateMillis());
+    }
+
+    @Test(description = "Même fichier, même empreinte ; contenu différent, empreinte différente")
+    public void testFingerprint() throws Exception {
+        Assert.assertEquals(reload(historyWith("a.Test.m=1;CPU\n")).fingerprint(),
+                reload(historyWith("a.Test.m=1;CPU\n")).fingerprint());
+        Assert.assertNotEquals(reload(historyWith("a.Test.m=1;CPU\n")).fingerprint(),
+                reload(historyWith("a.Test.m=2;CPU\n")).fingerprint());
+    }
+
+    @Test(description = "Fusion des shards : mesures appliquées, fichiers de shard supprimés")
+    public void testMergeShards() throws Exception {
+        Path file = historyWith("a.Test.m=1000;NETWORK\n");
+        DurationHistory base = reload(file);
+        ShardPlan plan = ShardPlan.balance(base.fingerprint(), Map.of("a.Test.m", 1000L, "b.Test", 10L), 2);
+
+        DurationHistory shard1 = reload(file);
+        shard1.record("a.Test.m", ResourceClass.NETWORK, 2000);
+        shard1.saveMeasurements(HistoryMerge.measurementsFile(file, 1, 2));
+        plan.write(HistoryMerge.planFile(file, 1, 2));
+        DurationHistory shard2 = reload(file);
+        shard2.record("b.Test.@class", ResourceClass.BROWSER, 3000);
+        shard2.saveMeasurements(HistoryMerge.measurementsFile(file, 2, 2));
+        plan.write(HistoryMerge.planFile(file, 2, 2));
+
+        HistoryMerge.merge(file);
+
+        DurationHistory merged = reload(file);
+        Assert.assertEquals(merged.estimate("a.Test.m", ResourceClass.NETWORK), 1300L);
+        Assert.assertEquals(merged.estimate("b.Test.@class", ResourceClass.BROWSER), 3000L);
+        Assert.assertFalse(Files.exists(HistoryMerge.planFile(file, 1, 2)));
+        Assert.assertFalse(Files.exists(HistoryMerge.measurementsFile(file, 2, 2)));
+    }
+
+    @Test(description = "Plan d'un shard manquant : la fusion échoue sans toucher à l'historique")
+    public void testMergeRejectsMissingPlan() throws Exception {
+        Path file = historyWith("a.Test.m=1000;NETWORK\n");
+        ShardPlan.balance("h", Map.of("a.Test.m", 1000L), 2).write(HistoryMerge.planFile(file, 1, 2));
+
+        Assert.assertThrows(IllegalStateException.class, () -> HistoryMerge.merge(file));
+        Assert.assertEquals(reload(file).estimate("a.Test.m", ResourceClass.NETWORK), 1000L);
+    }
+}
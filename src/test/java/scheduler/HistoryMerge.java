@@ -0,0 +1,81 @@
+package scheduler;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fusion des mesures des shards CI dans l'historique
+ * Lancé après tous les shards : vérifie qu'ils ont calculé le même découpage,
+ * applique leurs mesures à l'historique puis supprime les fichiers de shard.
+ *
+ * java -cp target/test-classes scheduler.HistoryMerge .test-history/durations.properties
+ */
+public class HistoryMerge {
+
+    private static final Pattern SHARD_FILE = Pattern.compile("shard-(\\d+)-of-(\\d+)\\.(plan|properties)");
+
+    public static Path measurementsFile(Path history, int shard, int shards) {
+        return history.resolveSibling("shard-" + shard + "-of-" + shards + ".properties");
+    }
+
+    public static Path planFile(Path history, int shard, int shards) {
+        return history.resolveSibling("shard-" + shard + "-of-" + shards + ".plan");
+    }
+
+    /**
+     * @throws IllegalStateException si les shards n'ont pas calculé le même découpage
+     */
+    public static void merge(Path historyFile) throws IOException {
+        Path directory = historyFile.toAbsolutePath().getParent();
+        Map<Integer, ShardPlan> plans = new TreeMap<>();
+        List<Path> measurements = new ArrayList<>();
+        List<Path> shardFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "shard-*")) {
+            for (Path file : files) {
+                Matcher matcher = SHARD_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                shardFiles.add(file);
+                if (matcher.group(3).equals("plan")) {
+                    plans.put(Integer.parseInt(matcher.group(1)), ShardPlan.read(file));
+                } else {
+                    measurements.add(file);
+                }
+            }
+        }
+
+        ShardPlan.verify(plans);
+
+        DurationHistory history = new DurationHistory(historyFile);
+        history.load();
+        for (Path file : measurements) {
+            history.loadMeasurements(file);
+        }
+        history.save();
+        for (Path file : shardFiles) {
+            Files.delete(file);
+        }
+        System.out.println("✓ Historique fusionné - " + plans.size() + " shards, "
+                + plans.values().iterator().next().assignment().size() + " unités");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path history = Paths.get(args.length > 0 ? args[0] : ".test-history/durations.properties");
+        try {
+            merge(history);
+        } catch (IllegalStateException e) {
+            System.out.println("✗ Découpage non reproductible: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
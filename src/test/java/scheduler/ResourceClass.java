@@ -0,0 +1,39 @@
+package scheduler;
+
+/**
+ * Classe de ressource consommée par un test
+ * Chaque classe a sa propre limite de concurrence dans le planificateur
+ */
+public enum ResourceClass {
+
+    /** Session navigateur (Chrome local ou Selenium Grid) */
+    BROWSER(1, 5000),
+
+    /** Appels HTTP vers une API distante */
+    NETWORK(4, 500),
+
+    /** Calcul local, sans I/O */
+    CPU(Runtime.getRuntime().availableProcessors(), 100);
+
+    private final int defaultLimit;
+    private final long defaultEstimateMillis;
+
+    ResourceClass(int defaultLimit, long defaultEstimateMillis) {
+        this.defaultLimit = defaultLimit;
+        this.defaultEstimateMillis = defaultEstimateMillis;
+    }
+
+    /**
+     * Nombre de tests de cette classe autorisés en parallèle
+     * Surchargeable via -Dscheduler.limit.browser=2 (etc.)
+     */
+    public int limit() {
+        String key = "scheduler.limit." + name().toLowerCase();
+        return Math.max(1, Integer.getInteger(key, defaultLimit));
+    }
+
+    /** Durée supposée d'un test jamais mesuré */
+    public long defaultEstimateMillis() {
+        return defaultEstimateMillis;
+    }
+}
@@ -0,0 +1,143 @@
+package scheduler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Répartition des unités de test entre les shards CI
+ * Chaque shard calcule le plan complet et l'écrit sur disque ; HistoryMerge
+ * vérifie ensuite que tous les shards ont calculé exactement le même plan,
+ * sinon des tests ont pu tourner deux fois ou pas du tout.
+ */
+public class ShardPlan {
+
+    private static final String FINGERPRINT_KEY = "@fingerprint";
+    private static final String SHARDS_KEY = "@shards";
+
+    private final String fingerprint;
+    private final int shards;
+    private final Map<String, Integer> assignment;
+
+    ShardPlan(String fingerprint, int shards, Map<String, Integer> assignment) {
+        this.fingerprint = fingerprint;
+        this.shards = shards;
+        this.assignment = new TreeMap<>(assignment);
+    }
+
+    /**
+     * Répartition LPT : chaque unité, de la plus longue à la plus courte, va au shard
+     * le moins chargé (shards numérotés à partir de 1). Les égalités sont départagées
+     * par nom pour que le résultat ne dépende que des coûts.
+     */
+    public static ShardPlan balance(String fingerprint, Map<String, Long> costs, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Nombre de shards invalide: " + shards);
+        }
+        List<String> ordered = new ArrayList<>(costs.keySet());
+        ordered.sort(Comparator.comparing((String key) -> costs.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] loads = new long[shards];
+        Map<String, Integer> assignment = new TreeMap<>();
+        for (String key : ordered) {
+            int target = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[target]) {
+                    target = i;
+                }
+            }
+            loads[target] += costs.get(key);
+            assignment.put(key, target + 1);
+        }
+        return new ShardPlan(fingerprint, shards, assignment);
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public Map<String, Integer> assignment() {
+        return assignment;
+    }
+
+    public boolean contains(String unit, int shard) {
+        return assignment.getOrDefault(unit, 0) == shard;
+    }
+
+    /** Fusionne le plan d'un autre appel de l'intercepteur (une balise test par appel) */
+    public ShardPlan plus(ShardPlan other) {
+        Map<String, Integer> merged = new TreeMap<>(assignment);
+        merged.putAll(other.assignment);
+        return new ShardPlan(fingerprint, shards, merged);
+    }
+
+    public void write(Path target) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(FINGERPRINT_KEY + "=" + fingerprint + "\n");
+            writer.write(SHARDS_KEY + "=" + shards + "\n");
+            for (Map.Entry<String, Integer> entry : assignment.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    public static ShardPlan read(Path source) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Integer> assignment = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith("@")) {
+                assignment.put(key, Integer.parseInt(properties.getProperty(key).trim()));
+            }
+        }
+        return new ShardPlan(properties.getProperty(FINGERPRINT_KEY, "absent"),
+                Integer.parseInt(properties.getProperty(SHARDS_KEY, "1").trim()), assignment);
+    }
+
+    /**
+     * Vérifie que les plans des shards 1..n sont tous présents et identiques
+     *
+     * @param plans plan écrit par chaque shard, indexé par numéro de shard
+     * @throws IllegalStateException si le découpage n'est pas reproductible
+     */
+    public static void verify(Map<Integer, ShardPlan> plans) {
+        if (plans.isEmpty()) {
+            throw new IllegalStateException("Aucun plan de shard trouvé");
+        }
+        ShardPlan reference = plans.values().iterator().next();
+        for (int shard = 1; shard <= reference.shards; shard++) {
+            if (!plans.containsKey(shard)) {
+                throw new IllegalStateException("Plan manquant pour le shard " + shard + "/" + reference.shards);
+            }
+        }
+        for (Map.Entry<Integer, ShardPlan> entry : plans.entrySet()) {
+            ShardPlan plan = entry.getValue();
+            if (entry.getKey() < 1 || entry.getKey() > reference.shards || plan.shards != reference.shards) {
+                throw new IllegalStateException("Shard " + entry.getKey() + " hors du découpage en "
+                        + reference.shards);
+            }
+            if (!plan.fingerprint.equals(reference.fingerprint)) {
+                throw new IllegalStateException("Shard " + entry.getKey() + " a lu un autre historique ("
+                        + plan.fingerprint + " au lieu de " + reference.fingerprint + ")");
+            }
+            if (!plan.assignment.equals(reference.assignment)) {
+                throw new IllegalStateException("Shard " + entry.getKey() + " a calculé un autre découpage");
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package scheduler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests unitaires du découpage LPT entre shards
+ */
+public class ShardPlanTest {
+
+    private static Map<String, Long> costs() {
+        Map<String, Long> costs = new LinkedHashMap<>();
+        costs.put("selenium.PokeAPIWebTest", 9000L);
+        costs.put("api.PokeAPITest.testGetPikachu", 1200L);
+        costs.put("api.PokeAPITest.testGetAbility", 1100L);
+        costs.put("api.PokeAPITest.testGetGeneration", 1100L);
+        costs.put("api.PokeAPITest.testGetPokemonList", 900L);
+        costs.put("api.PokeAPITest.testGetPokemonType", 700L);
+        costs.put("api.PokeAPITest.testPikachuStats", 600L);
+        return costs;
+    }
+
+    @Test(description = "Deux shards couvrent chaque unité exactement une fois")
+    public void testShardsCoverEveryUnitOnce() {
+        ShardPlan plan = ShardPlan.balance("h", costs(), 2);
+
+        Set<String> seen = new HashSet<>();
+        for (int shard = 1; shard <= 2; shard++) {
+            for (String unit : costs().keySet()) {
+                if (plan.contains(unit, shard)) {
+                    Assert.assertTrue(seen.add(unit), unit + " affecté à deux shards");
+                }
+            }
+        }
+        Assert.assertEquals(seen, costs().keySet());
+    }
+
+    @Test(description = "La plus longue unité est isolée, le reste équilibré")
+    public void testLongestFirstBalancing() {
+        ShardPlan plan = ShardPlan.balance("h", costs(), 2);
+
+        long[] loads = new long[3];
+        plan.assignment().forEach((unit, shard) -> loads[shard] += costs().get(unit));
+        Assert.assertEquals(loads[1], 9000L);
+        Assert.assertEquals(loads[2], 5600L);
+    }
+
+    @Test(description = "L'ordre d'insertion des coûts ne change pas le plan")
+    public void testPlanIsDeterministic() {
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        costs().keySet().stream().sorted((a, b) -> b.compareTo(a)).forEach(k -> reversed.put(k, costs().get(k)));
+
+        Assert.assertEquals(ShardPlan.balance("h", reversed, 3).assignment(),
+                ShardPlan.balance("h", costs(), 3).assignment());
+    }
+
+    @Test(description = "Plans identiques relus depuis le disque : vérification OK")
+    public void testVerifyAcceptsIdenticalPlans() throws Exception {
+        Path directory = Files.createTempDirectory("shard-plan");
+        Map<Integer, ShardPlan> plans = new HashMap<>();
+        for (int shard = 1; shard <= 2; shard++) {
+            Path file = directory.resolve("shard-" + shard + ".plan");
+            ShardPlan.balance("h", costs(), 2).write(file);
+            plans.put(shard, ShardPlan.read(file));
+        }
+
+        ShardPlan.verify(plans);
+    }
+
+    @Test(description = "Historiques différents entre shards : vérification en échec")
+    public void testVerifyRejectsDifferentHistory() {
+        Map<String, Long> otherCosts = costs();
+        otherCosts.put("api.PokeAPITest.testPikachuStats", 20000L);
+
+        Map<Integer, ShardPlan> plans = Map.of(
+                1, ShardPlan.balance("h1", costs(), 2),
+                2, ShardPlan.balance("h2", otherCosts, 2));
+
+        Assert.assertThrows(IllegalStateException.class, () -> ShardPlan.verify(plans));
+    }
+
+    @Test(description = "Un shard sans plan : vérification en échec")
+    public void testVerifyRejectsMissingShard() {
+        Map<Integer, ShardPlan> plans = Map.of(1, ShardPlan.balance("h", costs(), 2));
+
+        Assert.assertThrows(IllegalStateException.class, () -> ShardPlan.verify(plans));
+    }
+}
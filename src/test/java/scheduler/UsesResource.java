@@ -0,0 +1,17 @@
+package scheduler;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Déclare la ressource utilisée par une classe ou une méthode de test
+ * Sans annotation, le test est considéré comme CPU
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface UsesResource {
+
+    ResourceClass value();
+}
@@ -13,6 +13,8 @@ import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import scheduler.ResourceClass;
+import scheduler.UsesResource;
 
 import java.net.URL;
 import java.time.Duration;
@@ -20,7 +22,10 @@ import java.time.Duration;
 /**
  * Tests Selenium sur le site PokeAPI
  * Vérifie l'interface web de documentation de l'API
+ * Un seul driver partagé : toutes les méthodes tournent dans le même thread
  */
+@Test(singleThreaded = true)
+@UsesResource(ResourceClass.BROWSER)
 public class PokeAPIWebTest {
     
     private WebDriver driver;
@@ -0,0 +1,234 @@
+package soak;
+
+import com.sun.management.GcInfo;
+import com.sun.management.UnixOperatingSystemMXBean;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Télémétrie de la JVM qui exécute les tests
+ * - heap, threads, descripteurs : MXBeans (JMX local)
+ * - pauses GC : flux JFR (jdk.GarbageCollection), repli sur les MXBeans si JFR est absent
+ * - sockets : /proc/self/fd sous Linux
+ */
+public class JvmTelemetry implements AutoCloseable {
+
+    private static final Path PROC_FD = Paths.get("/proc/self/fd");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private final AtomicLong jfrPauseTotalNanos = new AtomicLong();
+    private final AtomicLong jfrPauseMaxNanos = new AtomicLong();
+    private RecordingStream gcStream;
+
+    private final Map<Long, Long> allocatedByThread = new HashMap<>();
+    private final Set<String> heapPools = new HashSet<>();
+
+    private long lastSampleNanos;
+    private long lastGcCount;
+    private long lastGcTimeMillis;
+
+    private JvmTelemetry() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+    }
+
+    /** Démarre le flux JFR et prend les valeurs de référence */
+    public static JvmTelemetry start() {
+        JvmTelemetry telemetry = new JvmTelemetry();
+        telemetry.startGcStream();
+        telemetry.lastSampleNanos = System.nanoTime();
+        telemetry.allocatedSinceLastSample();
+        telemetry.lastGcCount = gcCount();
+        telemetry.lastGcTimeMillis = gcTimeMillis();
+        return telemetry;
+    }
+
+    private void startGcStream() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.GarbageCollection");
+            stream.onEvent("jdk.GarbageCollection", event -> {
+                jfrPauseTotalNanos.addAndGet(event.getDuration("sumOfPauses").toNanos());
+                jfrPauseMaxNanos.accumulateAndGet(event.getDuration("longestPause").toNanos(), Math::max);
+            });
+            stream.setMaxAge(Duration.ofMinutes(5));
+            stream.startAsync();
+            gcStream = stream;
+        } catch (RuntimeException | Error e) {
+            System.out.println("⚠ JFR indisponible, pauses GC estimées via JMX: " + e.getMessage());
+        }
+    }
+
+    /** Mesure courante ; les compteurs GC et l'allocation portent sur l'intervalle écoulé */
+    public synchronized TelemetrySample sample() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(1e-3, (now - lastSampleNanos) / 1e9);
+
+        long allocated = allocatedSinceLastSample();
+        long allocationRate = allocated < 0 ? -1 : Math.round(allocated / elapsedSeconds);
+
+        long gcCount = gcCount();
+        long gcTime = gcTimeMillis();
+        long pauseTotal;
+        long pauseMax;
+        if (gcStream != null) {
+            pauseTotal = jfrPauseTotalNanos.getAndSet(0) / 1_000_000;
+            pauseMax = jfrPauseMaxNanos.getAndSet(0) / 1_000_000;
+        } else {
+            pauseTotal = gcTime - lastGcTimeMillis;
+            pauseMax = -1;
+        }
+
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        TelemetrySample sample = new TelemetrySample(
+                System.currentTimeMillis(),
+                heap.getUsed(),
+                heap.getCommitted(),
+                heapAfterGc(),
+                allocationRate,
+                gcCount - lastGcCount,
+                pauseTotal,
+                pauseMax,
+                threads.getThreadCount(),
+                openSockets(),
+                openFiles());
+
+        lastSampleNanos = now;
+        lastGcCount = gcCount;
+        lastGcTimeMillis = gcTime;
+        return sample;
+    }
+
+    @Override
+    public void close() {
+        if (gcStream != null) {
+            gcStream.close();
+        }
+    }
+
+    /**
+     * Octets alloués par les threads vivants depuis la mesure précédente
+     * (le total JVM n'est exposé qu'à partir du JDK 21 ; la dernière portion
+     * d'un thread terminé entre deux mesures est perdue)
+     */
+    private long allocatedSinceLastSample() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean sunThreads)
+                || !sunThreads.isThreadAllocatedMemorySupported()
+                || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long[] ids = sunThreads.getAllThreadIds();
+        long[] allocated = sunThreads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> current = new HashMap<>();
+        long delta = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] < 0) {
+                continue;
+            }
+            current.put(ids[i], allocated[i]);
+            delta += allocated[i] - allocatedByThread.getOrDefault(ids[i], 0L);
+        }
+        allocatedByThread.clear();
+        allocatedByThread.putAll(current);
+        return Math.max(0, delta);
+    }
+
+    /**
+     * Heap occupé à la fin du GC le plus récent, tous collecteurs confondus
+     * getCollectionUsage() ne convient pas sous G1 : l'old gen n'y est mise à jour
+     * qu'après un GC mixte ou complet, la somme reste plate pendant les GC jeunes.
+     * Le GcInfo d'un GC jeune, lui, photographie tous les pools après collection.
+     *
+     * @return -1 tant qu'aucun GC n'a eu lieu
+     */
+    private long heapAfterGc() {
+        GcInfo latest = null;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof com.sun.management.GarbageCollectorMXBean sunGc) {
+                GcInfo info = sunGc.getLastGcInfo();
+                if (info != null && (latest == null || info.getEndTime() > latest.getEndTime())) {
+                    latest = info;
+                }
+            }
+        }
+        if (latest == null) {
+            return -1;
+        }
+        long total = 0;
+        for (Map.Entry<String, MemoryUsage> pool : latest.getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                total += pool.getValue().getUsed();
+            }
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private long openFiles() {
+        if (os instanceof UnixOperatingSystemMXBean unix) {
+            return unix.getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    private static int openSockets() {
+        if (!Files.isDirectory(PROC_FD)) {
+            return -1;
+        }
+        int sockets = 0;
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC_FD)) {
+            for (Path fd : fds) {
+                try {
+                    if (Files.readSymbolicLink(fd).toString().startsWith("socket:")) {
+                        sockets++;
+                    }
+                } catch (IOException e) {
+                    // Descripteur fermé entre le listing et la lecture
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return sockets;
+    }
+}
@@ -0,0 +1,71 @@
+package soak;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests de la télémétrie sur la JVM courante (collecteur par défaut : G1)
+ */
+public class JvmTelemetryTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private static volatile byte[] sink;
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    /** Alloue des objets éphémères jusqu'à déclencher au moins un GC (jeune, sans System.gc()) */
+    private static void churnUntilGc() {
+        long start = gcCount();
+        for (int i = 0; i < 1_000_000 && gcCount() == start; i++) {
+            sink = new byte[64 * 1024];
+        }
+        Assert.assertTrue(gcCount() > start, "Aucun GC déclenché");
+    }
+
+    @Test(description = "Heap après GC : suit une liste retenue qui grossit au fil des GC jeunes")
+    public void testHeapAfterGcTracksRetainedGrowth() {
+        List<byte[]> retained = new ArrayList<>();
+        try (JvmTelemetry telemetry = JvmTelemetry.start()) {
+            // Référence propre : les déchets d'un test précédent ne doivent pas mourir pendant la mesure
+            System.gc();
+            churnUntilGc();
+            long before = telemetry.sample().heapAfterGc();
+
+            for (int step = 0; step < 8; step++) {
+                for (int i = 0; i < 40; i++) {
+                    retained.add(new byte[256 * 1024]);
+                }
+                churnUntilGc();
+            }
+            long after = telemetry.sample().heapAfterGc();
+
+            Assert.assertTrue(before >= 0, "Heap après GC indisponible");
+            Assert.assertTrue(after - before >= 60L * MB,
+                    "Croissance mesurée " + (after - before) / MB + " MB pour 80 MB retenus");
+        }
+        Assert.assertEquals(retained.size(), 320);
+    }
+
+    @Test(description = "Mesure courante : threads et heap renseignés")
+    public void testSampleBasics() {
+        try (JvmTelemetry telemetry = JvmTelemetry.start()) {
+            TelemetrySample sample = telemetry.sample();
+
+            Assert.assertTrue(sample.heapUsed() > 0);
+            Assert.assertTrue(sample.heapCommitted() >= sample.heapUsed());
+            Assert.assertTrue(sample.threads() > 0);
+        }
+    }
+}
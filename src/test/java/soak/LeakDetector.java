@@ -0,0 +1,107 @@
+package soak;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Détection de fuite par tendance
+ * Régression linéaire sur les mesures après échauffement : une métrique fuit si
+ * sa pente dépasse le seuil horaire et que la droite explique bien la série (R²),
+ * ce qui écarte les simples oscillations du GC.
+ */
+public class LeakDetector {
+
+    private static final double MIN_R_SQUARED = 0.5;
+    private static final int MIN_SAMPLES = 10;
+    private static final double MILLIS_PER_HOUR = 3_600_000d;
+
+    private final List<TelemetrySample> samples = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private final double warmupRatio;
+
+    public LeakDetector(double warmupRatio) {
+        this.warmupRatio = warmupRatio;
+    }
+
+    public synchronized void add(TelemetrySample sample) {
+        samples.add(sample);
+    }
+
+    /**
+     * Seuils (par heure) lus via -Dsoak.leak.heapMbPerHour, -Dsoak.leak.threadsPerHour
+     * et -Dsoak.leak.socketsPerHour
+     * Un heap après GC constant ou absent n'est pas une absence de fuite : il est
+     * signalé dans warnings(), le soak ne peut alors rien conclure sur la mémoire.
+     */
+    public synchronized List<String> findLeaks() {
+        List<TelemetrySample> steady = samples.subList((int) (samples.size() * warmupRatio), samples.size());
+        List<String> leaks = new ArrayList<>();
+        warnings.clear();
+        if (steady.size() < MIN_SAMPLES) {
+            return leaks;
+        }
+        check(steady, "heap après GC (MB)", s -> s.heapAfterGc() / (1024d * 1024d),
+                threshold("soak.leak.heapMbPerHour", 10), true, leaks);
+        check(steady, "threads", TelemetrySample::threads,
+                threshold("soak.leak.threadsPerHour", 2), false, leaks);
+        if (steady.get(0).openSockets() >= 0) {
+            check(steady, "sockets", TelemetrySample::openSockets,
+                    threshold("soak.leak.socketsPerHour", 5), false, leaks);
+        }
+        return leaks;
+    }
+
+    /** Métriques sans signal exploitable lors du dernier findLeaks() */
+    public synchronized List<String> warnings() {
+        return new ArrayList<>(warnings);
+    }
+
+    private void check(List<TelemetrySample> steady, String metric, ToDoubleFunction<TelemetrySample> value,
+                       double maxPerHour, boolean signalRequired, List<String> leaks) {
+        // Valeur négative : mesure indisponible (pas encore de GC, hors Linux...)
+        List<TelemetrySample> usable = new ArrayList<>();
+        for (TelemetrySample sample : steady) {
+            if (value.applyAsDouble(sample) >= 0) {
+                usable.add(sample);
+            }
+        }
+        int n = usable.size();
+        if (n < MIN_SAMPLES) {
+            if (signalRequired) {
+                warnings.add(metric + " : aucun signal exploitable (" + n + " mesures)");
+            }
+            return;
+        }
+        long origin = usable.get(0).timestampMillis();
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0, sumYY = 0;
+        for (TelemetrySample sample : usable) {
+            double x = (sample.timestampMillis() - origin) / MILLIS_PER_HOUR;
+            double y = value.applyAsDouble(sample);
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+            sumYY += y * y;
+        }
+        double varX = n * sumXX - sumX * sumX;
+        double varY = n * sumYY - sumY * sumY;
+        if (varX <= 0 || varY <= 0) {
+            if (signalRequired) {
+                warnings.add(metric + " : aucun signal exploitable (série constante)");
+            }
+            return;
+        }
+        double covariance = n * sumXY - sumX * sumY;
+        double slope = covariance / varX;
+        double rSquared = covariance * covariance / (varX * varY);
+        if (slope > maxPerHour && rSquared >= MIN_R_SQUARED) {
+            leaks.add(String.format("%s : +%.2f/h (seuil %.2f/h, R²=%.2f)", metric, slope, maxPerHour, rSquared));
+        }
+    }
+
+    private static double threshold(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+    }
+}
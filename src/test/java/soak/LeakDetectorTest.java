@@ -0,0 +1,86 @@
+package soak;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Tests unitaires de la détection de fuite par tendance
+ */
+public class LeakDetectorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    /** Une heure de mesures toutes les 10 s */
+    private static LeakDetector detectorWith(IntFunction<TelemetrySample> sampleAt) {
+        LeakDetector detector = new LeakDetector(0.1);
+        for (int i = 0; i < 360; i++) {
+            detector.add(sampleAt.apply(i));
+        }
+        return detector;
+    }
+
+    private static TelemetrySample sample(int i, long heapAfterGc, int threads, int sockets) {
+        return new TelemetrySample(i * 10_000L, 0, 0, heapAfterGc, 0, 0, 0, 0, threads, sockets, 0);
+    }
+
+    @Test(description = "Heap après GC en croissance linéaire : fuite signalée")
+    public void testLinearHeapGrowthIsFlagged() {
+        List<String> leaks = detectorWith(i -> sample(i, 50 * MB + i * MB / 10, 20, 3)).findLeaks();
+
+        Assert.assertEquals(leaks.size(), 1, leaks.toString());
+        Assert.assertTrue(leaks.get(0).startsWith("heap"), leaks.toString());
+    }
+
+    @Test(description = "Threads et sockets en croissance : fuites signalées")
+    public void testThreadAndSocketGrowthIsFlagged() {
+        List<String> leaks = detectorWith(i -> sample(i, 50 * MB, 20 + i / 60, 3 + i / 30)).findLeaks();
+
+        Assert.assertEquals(leaks.size(), 2, leaks.toString());
+    }
+
+    @Test(description = "Série plate : aucune fuite, mais heap signalé comme inexploitable")
+    public void testFlatSeriesIsNotFlagged() {
+        LeakDetector detector = detectorWith(i -> sample(i, 50 * MB, 20, 3));
+
+        Assert.assertTrue(detector.findLeaks().isEmpty());
+        Assert.assertEquals(detector.warnings().size(), 1, detector.warnings().toString());
+        Assert.assertTrue(detector.warnings().get(0).startsWith("heap"), detector.warnings().toString());
+    }
+
+    @Test(description = "Heap après GC indisponible (-1) : signalé comme inexploitable")
+    public void testMissingHeapSignalIsReported() {
+        LeakDetector detector = detectorWith(i -> sample(i, -1, 20, 3));
+
+        Assert.assertTrue(detector.findLeaks().isEmpty());
+        Assert.assertEquals(detector.warnings().size(), 1, detector.warnings().toString());
+    }
+
+    @Test(description = "Dents de scie du GC sans tendance : aucune fuite")
+    public void testNoisySeriesIsNotFlagged() {
+        List<String> leaks = detectorWith(i -> sample(i, 50 * MB + (i % 7) * 5 * MB, 20 + i % 3, 3 + i % 4))
+                .findLeaks();
+
+        Assert.assertTrue(leaks.isEmpty(), leaks.toString());
+    }
+
+    @Test(description = "Série bruitée exploitable : aucun avertissement")
+    public void testNoisySeriesHasUsableSignal() {
+        LeakDetector detector = detectorWith(i -> sample(i, 50 * MB + (i % 7) * 5 * MB, 20, 3));
+        detector.findLeaks();
+
+        Assert.assertTrue(detector.warnings().isEmpty(), detector.warnings().toString());
+    }
+
+    @Test(description = "Trop peu de mesures : pas de verdict")
+    public void testTooFewSamples() {
+        LeakDetector detector = new LeakDetector(0.1);
+        for (int i = 0; i < 5; i++) {
+            detector.add(sample(i, 50 * MB + i * 100 * MB, 20 + i * 10, 3));
+        }
+
+        Assert.assertTrue(detector.findLeaks().isEmpty());
+    }
+}
@@ -0,0 +1,185 @@
+package soak;
+
+import api.PokeAPITest;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.*;
+
+/**
+ * Test d'endurance (soak) : rejoue en boucle les scénarios REST Assured et JMeter
+ * pendant des heures en surveillant la JVM de test elle-même
+ * Lancement : mvn test -Psoak -Dsoak.duration=PT4H
+ *
+ * Paramètres (-D) : soak.duration, soak.users, soak.interval, soak.dir,
+ * soak.rollEvery, soak.keepFiles, soak.maxErrorRate, soak.thinkTimeFactor, soak.timeout
+ */
+public class SoakTest {
+
+    // Timers du plan JMeter, requête par requête : TG1 Constant Timer 1 s, TG2 Uniform
+    // Random Timer 0-500 ms, TG3 et scénarios PokeAPITest sans timer
+    private static final Duration LIST_THINK_TIME = Duration.ofSeconds(1);
+    private static final Duration DETAILS_THINK_TIME_RANGE = Duration.ofMillis(500);
+
+    private final Duration duration = Duration.parse(System.getProperty("soak.duration", "PT1H"));
+    private final Duration interval = Duration.parse(System.getProperty("soak.interval", "PT10S"));
+    private final int users = Integer.getInteger("soak.users", 4);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("soak.maxErrorRate", "0.01"));
+
+    // Multiplie les timers du plan ; 0 désactive les pauses
+    private final double thinkTimeFactor = Double.parseDouble(System.getProperty("soak.thinkTimeFactor", "1"));
+    private final Duration timeout = Duration.parse(System.getProperty("soak.timeout", "PT30S"));
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final List<String[]> pokemonData = new ArrayList<>();
+    private final List<Runnable> apiScenarios = new ArrayList<>();
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        RestAssured.baseURI = "https://pokeapi.co/api/v2";
+
+        // Sans timeout, une connexion bloquée immobilise un utilisateur virtuel jusqu'à la fin du run
+        int timeoutMillis = (int) timeout.toMillis();
+        RestAssured.config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .setParam("http.connection.timeout", timeoutMillis)
+                .setParam("http.socket.timeout", timeoutMillis)
+                .setParam("http.connection-manager.timeout", timeout.toMillis()));
+
+        // Même jeu de données que le Thread Group CSV de JMeter
+        List<String> lines = Files.readAllLines(Paths.get("jmeter/pokemon_data.csv"), StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                pokemonData.add(line.split(","));
+            }
+        }
+
+        // Scénarios REST Assured existants, avec leurs assertions
+        PokeAPITest api = new PokeAPITest();
+        api.setUp();
+        apiScenarios.add(api::getPikachu);
+        apiScenarios.add(api::getPokemonById);
+        apiScenarios.add(api::getPokemonList);
+        apiScenarios.add(api::getPokemonType);
+        apiScenarios.add(api::getAbility);
+        apiScenarios.add(api::getGeneration);
+        apiScenarios.add(api::getNonExistentPokemon);
+        apiScenarios.add(api::pikachuStats);
+    }
+
+    @Test(description = "Soak test - fuites mémoire, threads et sockets de la JVM de test")
+    public void testSoak() throws Exception {
+        LeakDetector detector = new LeakDetector(0.1);
+        long deadline = System.nanoTime() + duration.toNanos();
+        boolean stopped;
+
+        try (JvmTelemetry telemetry = JvmTelemetry.start();
+             TimeSeriesWriter series = new TimeSeriesWriter(
+                     Paths.get(System.getProperty("soak.dir", "target/soak")),
+                     Duration.parse(System.getProperty("soak.rollEvery", "PT1H")),
+                     Integer.getInteger("soak.keepFiles", 48))) {
+
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                try {
+                    TelemetrySample sample = telemetry.sample();
+                    series.append(sample);
+                    detector.add(sample);
+                } catch (Exception e) {
+                    System.out.println("⚠ Échantillon ignoré: " + e.getMessage());
+                }
+            }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+
+            ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+            for (int user = 0; user < users; user++) {
+                int offset = user;
+                virtualUsers.submit(() -> {
+                    int iteration = offset;
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            runScenario(iteration++);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // Une itération entamée avant l'échéance peut encore durer 5 requêtes
+            Duration iteration = timeout.multipliedBy(5)
+                    .plus(scaled(LIST_THINK_TIME.plus(DETAILS_THINK_TIME_RANGE)));
+            virtualUsers.shutdown();
+            stopped = virtualUsers.awaitTermination(duration.plus(iteration).toMillis(), TimeUnit.MILLISECONDS);
+            if (!stopped) {
+                virtualUsers.shutdownNow();
+                virtualUsers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            sampler.shutdown();
+            sampler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        double errorRate = requests.get() == 0 ? 0 : (double) errors.get() / requests.get();
+        List<String> leaks = detector.findLeaks();
+        System.out.println("✓ Soak " + duration + " - requêtes: " + requests.get() + ", erreurs: " + errors.get());
+        leaks.forEach(leak -> System.out.println("✗ Fuite suspectée - " + leak));
+        List<String> warnings = detector.warnings();
+        warnings.forEach(warning -> System.out.println("⚠ " + warning));
+
+        Assert.assertTrue(stopped, "Utilisateurs virtuels encore actifs après l'échéance");
+        Assert.assertTrue(requests.get() > 0, "Aucune requête exécutée");
+        Assert.assertTrue(errorRate <= maxErrorRate,
+                "Taux d'erreur " + String.format("%.2f%%", errorRate * 100) + " au-dessus du seuil");
+        Assert.assertTrue(leaks.isEmpty(), "Fuites suspectées : " + leaks);
+        Assert.assertTrue(warnings.isEmpty(), "Détection de fuite impossible : " + warnings);
+    }
+
+    /** Une itération : les 3 Thread Groups du plan JMeter puis un scénario de PokeAPITest */
+    private void runScenario(int iteration) throws InterruptedException {
+        String[] pokemon = pokemonData.get(iteration % pokemonData.size());
+        pause(LIST_THINK_TIME);
+        call(() -> get("/pokemon?limit=20").then().statusCode(200));
+        pause(randomUpTo(DETAILS_THINK_TIME_RANGE));
+        call(() -> get("/pokemon/pikachu").then().statusCode(200));
+        call(() -> get("/pokemon/" + pokemon[0]).then().statusCode(200));
+        call(() -> get("/type/" + pokemon[2]).then().statusCode(200));
+        call(apiScenarios.get(iteration % apiScenarios.size()));
+    }
+
+    private void pause(Duration thinkTime) throws InterruptedException {
+        Thread.sleep(scaled(thinkTime).toMillis());
+    }
+
+    private Duration scaled(Duration thinkTime) {
+        return Duration.ofMillis(Math.round(thinkTime.toMillis() * thinkTimeFactor));
+    }
+
+    private static Duration randomUpTo(Duration range) {
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(range.toMillis() + 1));
+    }
+
+    private void call(Runnable request) {
+        requests.incrementAndGet();
+        try {
+            request.run();
+        } catch (Exception | AssertionError e) {
+            errors.incrementAndGet();
+        }
+    }
+}
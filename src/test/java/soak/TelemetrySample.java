@@ -0,0 +1,40 @@
+package soak;
+
+/**
+ * Mesure ponctuelle de la JVM de test
+ * Les tailles sont en octets, les durées en millisecondes
+ *
+ * @param timestampMillis  instant de la mesure (epoch)
+ * @param heapUsed         heap utilisé au moment de la mesure
+ * @param heapCommitted    heap réservé par la JVM
+ * @param heapAfterGc      heap encore occupé après le dernier GC (live set, -1 avant le premier GC)
+ * @param allocationRate   octets alloués par seconde depuis la mesure précédente
+ * @param gcCount          nombre de collections depuis la mesure précédente
+ * @param gcPauseTotal     somme des pauses GC depuis la mesure précédente
+ * @param gcPauseMax       plus longue pause GC depuis la mesure précédente (-1 sans JFR)
+ * @param threads          threads vivants
+ * @param openSockets      sockets ouvertes par le processus (-1 hors Linux)
+ * @param openFiles        descripteurs de fichiers ouverts (-1 si non disponible)
+ */
+public record TelemetrySample(
+        long timestampMillis,
+        long heapUsed,
+        long heapCommitted,
+        long heapAfterGc,
+        long allocationRate,
+        long gcCount,
+        long gcPauseTotal,
+        long gcPauseMax,
+        int threads,
+        int openSockets,
+        long openFiles) {
+
+    static final String CSV_HEADER = "timestamp,heap_used,heap_committed,heap_after_gc,allocation_rate,"
+            + "gc_count,gc_pause_total_ms,gc_pause_max_ms,threads,open_sockets,open_files";
+
+    String toCsv() {
+        return timestampMillis + "," + heapUsed + "," + heapCommitted + "," + heapAfterGc + ","
+                + allocationRate + "," + gcCount + "," + gcPauseTotal + "," + gcPauseMax + ","
+                + threads + "," + openSockets + "," + openFiles;
+    }
+}
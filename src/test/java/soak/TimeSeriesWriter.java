@@ -0,0 +1,74 @@
+package soak;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Série temporelle CSV sur disque, découpée en fichiers successifs
+ * Un nouveau fichier est ouvert toutes les rollEvery ; seuls les keepFiles
+ * derniers sont conservés. Chaque ligne est flushée pour pouvoir suivre
+ * le run en direct (tail -f).
+ */
+public class TimeSeriesWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_SUFFIX =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    private final Path directory;
+    private final Duration rollEvery;
+    private final int keepFiles;
+    private final Deque<Path> files = new ArrayDeque<>();
+
+    private BufferedWriter writer;
+    private long rollAtMillis;
+    private int sequence;
+
+    public TimeSeriesWriter(Path directory, Duration rollEvery, int keepFiles) {
+        this.directory = directory;
+        this.rollEvery = rollEvery;
+        this.keepFiles = Math.max(1, keepFiles);
+    }
+
+    public synchronized void append(TelemetrySample sample) throws IOException {
+        if (writer == null || sample.timestampMillis() >= rollAtMillis) {
+            roll(sample.timestampMillis());
+        }
+        writer.write(sample.toCsv());
+        writer.newLine();
+        writer.flush();
+    }
+
+    private void roll(long nowMillis) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        // Le numéro de séquence évite d'écraser un fichier ouvert dans la même seconde
+        Path file = directory.resolve(String.format("telemetry-%s-%04d.csv",
+                FILE_SUFFIX.format(Instant.ofEpochMilli(nowMillis)), ++sequence));
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(TelemetrySample.CSV_HEADER);
+        writer.newLine();
+        files.addLast(file);
+        rollAtMillis = nowMillis + rollEvery.toMillis();
+
+        while (files.size() > keepFiles) {
+            Files.deleteIfExists(files.removeFirst());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
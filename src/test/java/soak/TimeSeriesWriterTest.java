@@ -0,0 +1,58 @@
+package soak;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests unitaires de la série temporelle découpée en fichiers
+ */
+public class TimeSeriesWriterTest {
+
+    private static TelemetrySample sampleAt(long timestampMillis) {
+        return new TelemetrySample(timestampMillis, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    private static List<Path> files(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test(description = "Rotation : au plus keepFiles fichiers conservés, les plus récents")
+    public void testKeepsAtMostKeepFiles() throws Exception {
+        Path directory = Files.createTempDirectory("soak");
+        try (TimeSeriesWriter writer = new TimeSeriesWriter(directory, Duration.ofMillis(10), 3)) {
+            for (long t = 0; t < 100; t += 5) {
+                writer.append(sampleAt(t));
+            }
+        }
+
+        List<Path> files = files(directory);
+        Assert.assertEquals(files.size(), 3);
+        List<String> last = Files.readAllLines(files.get(2), StandardCharsets.UTF_8);
+        Assert.assertEquals(last.get(0), TelemetrySample.CSV_HEADER);
+        Assert.assertEquals(last.get(last.size() - 1), sampleAt(95).toCsv());
+    }
+
+    @Test(description = "Sans rotation : un seul fichier avec en-tête et une ligne par mesure")
+    public void testSingleFileWithoutRoll() throws Exception {
+        Path directory = Files.createTempDirectory("soak");
+        try (TimeSeriesWriter writer = new TimeSeriesWriter(directory, Duration.ofHours(1), 3)) {
+            for (long t = 0; t < 10; t++) {
+                writer.append(sampleAt(t));
+            }
+        }
+
+        List<Path> files = files(directory);
+        Assert.assertEquals(files.size(), 1);
+        Assert.assertEquals(Files.readAllLines(files.get(0), StandardCharsets.UTF_8).size(), 11);
+    }
+}